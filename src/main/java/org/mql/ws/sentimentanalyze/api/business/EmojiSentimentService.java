@@ -6,6 +6,7 @@ import com.vdurmont.emoji.EmojiParser;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -14,9 +15,12 @@ import java.util.stream.Collectors;
 public class EmojiSentimentService {
     private static final Logger logger = LoggerFactory.getLogger(EmojiSentimentService.class);
     private Map<String, String> emojiSentiments;
+    private final TrendingEmojiService trendingService;
 
-    public EmojiSentimentService() {
+    @Autowired
+    public EmojiSentimentService(TrendingEmojiService trendingService) {
         this.emojiSentiments = new HashMap<>();
+        this.trendingService = trendingService;
     }
 
     @PostConstruct
@@ -193,6 +197,8 @@ public class EmojiSentimentService {
             logger.info("Analysis complete - Emoji counts: {}, Sentiment counts: {}",
                     emojiCounts, sentimentCounts);
 
+            trendingService.record(sentimentCounts);
+
             return new SentimentAnalysis(emojiCounts, sentimentCounts);
         } catch (Exception e) {
             logger.error("Error analyzing sentiment for text: " + text, e);
@@ -202,10 +208,9 @@ public class EmojiSentimentService {
 
     private Map<String, Map<String, Integer>> initializeSentimentCountsMap() {
         Map<String, Map<String, Integer>> sentimentCounts = new HashMap<>();
-        sentimentCounts.put("POSITIF", new HashMap<>());
-        sentimentCounts.put("NÉGATIF", new HashMap<>());
-        sentimentCounts.put("NEUTRE", new HashMap<>());
-        sentimentCounts.put("AMBIGU", new HashMap<>());
+        for (String sentiment : TrendingEmojiService.SENTIMENTS) {
+            sentimentCounts.put(sentiment, new HashMap<>());
+        }
         return sentimentCounts;
     }
 
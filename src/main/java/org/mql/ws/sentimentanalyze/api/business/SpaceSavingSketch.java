@@ -0,0 +1,143 @@
+package org.mql.ws.sentimentanalyze.api.business;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitters sketch with exponential (forward) time decay.
+ * <p>
+ * At most {@code capacity} items are monitored. For every monitored item the
+ * estimate over-counts its true decayed count by at most its {@code error},
+ * and every error is bounded by {@code totalWeight / capacity}.
+ * <p>
+ * Not thread-safe: callers must guard each instance with their own lock.
+ */
+public class SpaceSavingSketch {
+    // Rescale stored weights before the landmark exponent overflows a double
+    private static final double MAX_EXPONENT = 500.0;
+    // Decayed estimates below this are stale and no longer reported as trending
+    private static final double MIN_REPORTED_COUNT = 1e-6;
+
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingDouble((Counter c) -> c.count)
+            .thenComparing(c -> c.item);
+
+    private final int capacity;
+    private final double decayRate;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long landmarkMillis;
+    private double totalWeight;
+
+    public SpaceSavingSketch(int capacity, long halfLifeMillis, long nowMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("halfLifeMillis must be positive");
+        }
+        this.capacity = capacity;
+        this.decayRate = Math.log(2) / halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    public void offer(String item, long count, long nowMillis) {
+        if (count <= 0) {
+            return;
+        }
+        double exponent = decayRate * (nowMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0.0;
+        }
+        double weight = count * Math.exp(exponent);
+        totalWeight += weight;
+
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(item, weight, 0.0);
+            counters.put(item, counter);
+        } else {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.item);
+            counter = new Counter(item, evicted.count + weight, evicted.count);
+            counters.put(item, counter);
+        }
+        byCount.add(counter);
+    }
+
+    /**
+     * Returns the {@code k} items with the highest decayed estimates, largest first.
+     * Items whose estimate has decayed to (almost) nothing are left out.
+     */
+    public List<Estimate> topK(int k, long nowMillis) {
+        double scale = currentScale(nowMillis);
+        List<Estimate> result = new ArrayList<>();
+        for (Counter counter : byCount.descendingSet()) {
+            double count = counter.count / scale;
+            if (result.size() >= k || count < MIN_REPORTED_COUNT) {
+                break;
+            }
+            result.add(new Estimate(counter.item, count, counter.error / scale));
+        }
+        return result;
+    }
+
+    public double totalWeight(long nowMillis) {
+        return totalWeight / currentScale(nowMillis);
+    }
+
+    /**
+     * Upper bound on the over-count of any reported estimate.
+     */
+    public double maxError(long nowMillis) {
+        return totalWeight(nowMillis) / capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private double currentScale(long nowMillis) {
+        return Math.exp(decayRate * (nowMillis - landmarkMillis));
+    }
+
+    private void rescale(long nowMillis) {
+        // Underflows to 0 after a very long idle gap, which simply clears every weight
+        double factor = Math.exp(-decayRate * (nowMillis - landmarkMillis));
+        List<Counter> all = new ArrayList<>(byCount);
+        byCount.clear();
+        for (Counter counter : all) {
+            counter.count *= factor;
+            counter.error *= factor;
+            byCount.add(counter);
+        }
+        totalWeight *= factor;
+        landmarkMillis = nowMillis;
+    }
+
+    private static final class Counter {
+        private final String item;
+        private double count;
+        private double error;
+
+        private Counter(String item, double count, double error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    public record Estimate(String item, double count, double error) {
+        public double guaranteedCount() {
+            return count - error;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.mql.ws.sentimentanalyze.api.business;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+@Service
+public class TrendingEmojiService {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingEmojiService.class);
+    // Emoji sentiment classes, also used by EmojiSentimentService to build its counts
+    public static final List<String> SENTIMENTS = List.of("POSITIF", "NÉGATIF", "AMBIGU", "NEUTRE");
+
+    // One sketch and one lock per sentiment class, so requests only contend
+    // with others touching the same class
+    private final Map<String, SpaceSavingSketch> sketches = new HashMap<>();
+    private final Map<String, ReentrantLock> locks = new HashMap<>();
+    private final LongSupplier clock;
+
+    @Autowired
+    public TrendingEmojiService(@Value("${emoji.trending.capacity:200}") int capacity,
+                                @Value("${emoji.trending.half-life-minutes:60}") long halfLifeMinutes) {
+        this(capacity, halfLifeMinutes * 60_000L, System::currentTimeMillis);
+    }
+
+    TrendingEmojiService(int capacity, long halfLifeMillis, LongSupplier clock) {
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (String sentiment : SENTIMENTS) {
+            sketches.put(sentiment, new SpaceSavingSketch(capacity, halfLifeMillis, now));
+            locks.put(sentiment, new ReentrantLock());
+        }
+        logger.info("TrendingEmojiService initialized with capacity {} and half-life {} ms",
+                capacity, halfLifeMillis);
+    }
+
+    public void record(Map<String, Map<String, Integer>> sentimentCounts) {
+        long now = clock.getAsLong();
+        sentimentCounts.forEach((sentiment, emojis) -> {
+            SpaceSavingSketch sketch = sketches.get(sentiment);
+            if (sketch == null || emojis.isEmpty()) {
+                return;
+            }
+            ReentrantLock lock = locks.get(sentiment);
+            lock.lock();
+            try {
+                emojis.forEach((emoji, count) -> sketch.offer(emoji, count, now));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public Map<String, Object> topK(String sentiment, int k) {
+        SpaceSavingSketch sketch = sketches.get(sentiment);
+        if (sketch == null) {
+            throw new IllegalArgumentException("Unknown sentiment: " + sentiment);
+        }
+        long now = clock.getAsLong();
+        List<SpaceSavingSketch.Estimate> estimates;
+        double totalWeight;
+        double maxError;
+        ReentrantLock lock = locks.get(sentiment);
+        lock.lock();
+        try {
+            estimates = sketch.topK(k, now);
+            totalWeight = sketch.totalWeight(now);
+            maxError = sketch.maxError(now);
+        } finally {
+            lock.unlock();
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (SpaceSavingSketch.Estimate estimate : estimates) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("emoji", estimate.item());
+            item.put("count", estimate.count());
+            item.put("error", estimate.error());
+            item.put("guaranteedCount", estimate.guaranteedCount());
+            items.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalWeight", totalWeight);
+        result.put("maxError", maxError);
+        result.put("capacity", sketch.getCapacity());
+        result.put("top", items);
+        return result;
+    }
+
+    public Map<String, Object> topK(int k) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String sentiment : SENTIMENTS) {
+            result.put(sentiment, topK(sentiment, k));
+        }
+        return result;
+    }
+}
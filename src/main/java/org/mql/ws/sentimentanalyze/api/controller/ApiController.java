@@ -6,6 +6,7 @@ import org.mql.ws.sentimentanalyze.api.business.ApiServer;
 import org.mql.ws.sentimentanalyze.api.business.CombinedAnalysisService;
 import org.mql.ws.sentimentanalyze.api.business.EmojiSentimentService;
 import org.mql.ws.sentimentanalyze.api.business.SentimentAnalysis;
+import org.mql.ws.sentimentanalyze.api.business.TrendingEmojiService;
 import org.mql.ws.sentimentanalyze.api.models.AnalysisResult;
 import org.mql.ws.sentimentanalyze.api.models.Comment;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ public class ApiController {
     @Autowired
     private CombinedAnalysisService combinedService;
 
+    @Autowired
+    private TrendingEmojiService trendingService;
+
     @PostMapping("/analyze/combined")
     public ResponseEntity<?> analyzeCombined(@RequestBody Comment comment) {
         try {
@@ -69,4 +73,24 @@ public class ApiController {
             return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    @GetMapping("/emoji/trending")
+    public ResponseEntity<?> trendingEmojis(@RequestParam(required = false) String sentiment,
+                                            @RequestParam(defaultValue = "10") int k) {
+        if (k <= 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "k must be positive");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Map<String, Object> result = sentiment == null
+                    ? trendingService.topK(k)
+                    : trendingService.topK(sentiment, k);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
 }
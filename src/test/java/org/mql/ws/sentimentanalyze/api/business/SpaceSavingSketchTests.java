@@ -0,0 +1,109 @@
+package org.mql.ws.sentimentanalyze.api.business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTests {
+
+    @Test
+    void keepsHeavyHittersWithinCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3, 60_000L, 0L);
+        sketch.offer("😀", 50, 0L);
+        sketch.offer("😢", 30, 0L);
+        // Each rare item evicts the previous one, inheriting its count as error
+        for (int i = 0; i < 20; i++) {
+            sketch.offer("rare" + i, 1, 0L);
+        }
+
+        List<SpaceSavingSketch.Estimate> top = sketch.topK(3, 0L);
+        assertEquals(3, top.size());
+        assertEquals("😀", top.get(0).item());
+        assertEquals(50.0, top.get(0).count(), 1e-9);
+        assertEquals(0.0, top.get(0).error(), 1e-9);
+        assertEquals("😢", top.get(1).item());
+        assertEquals(30.0, top.get(1).count(), 1e-9);
+
+        SpaceSavingSketch.Estimate replacement = top.get(2);
+        double trueCount = 1.0;
+        assertEquals("rare19", replacement.item());
+        assertEquals(20.0, replacement.count(), 1e-9);
+        assertEquals(19.0, replacement.error(), 1e-9);
+        assertEquals(replacement.count() - replacement.error(), replacement.guaranteedCount(), 1e-9);
+        assertTrue(replacement.guaranteedCount() <= trueCount + 1e-9);
+        assertTrue(trueCount <= replacement.count() + 1e-9);
+
+        assertEquals(100.0, sketch.totalWeight(0L), 1e-9);
+        for (SpaceSavingSketch.Estimate estimate : top) {
+            assertTrue(estimate.error() <= sketch.maxError(0L));
+        }
+    }
+
+    @Test
+    void decaysOldCounts() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10, 1_000L, 0L);
+        sketch.offer("😀", 8, 0L);
+        sketch.offer("😢", 5, 2_000L);
+
+        List<SpaceSavingSketch.Estimate> top = sketch.topK(2, 2_000L);
+        assertEquals("😢", top.get(0).item());
+        assertEquals(2.0, top.get(1).count(), 1e-9);
+    }
+
+    @Test
+    void rescaleKeepsDecayedCountsErrorsAndOrdering() {
+        // ln(2) * 800 ≈ 554 > MAX_EXPONENT, so the second batch triggers a rescale
+        long halfLife = 1_000L;
+        long later = 800 * halfLife;
+        double decay = Math.pow(2, -800);
+
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2, halfLife, 0L);
+        sketch.offer("a", 8, 0L);
+        sketch.offer("b", 3, 0L);
+        sketch.offer("c", 5, later);
+        sketch.offer("a", 2, later);
+
+        List<SpaceSavingSketch.Estimate> top = sketch.topK(2, later);
+        assertEquals(2, top.size());
+        assertEquals("c", top.get(0).item());
+        assertEquals(5.0 + 3 * decay, top.get(0).count(), 1e-9);
+        assertEquals(3 * decay, top.get(0).error(), 3 * decay * 1e-9);
+        assertEquals("a", top.get(1).item());
+        assertEquals(2.0 + 8 * decay, top.get(1).count(), 1e-9);
+        assertEquals(0.0, top.get(1).error());
+        assertEquals(7.0 + 11 * decay, sketch.totalWeight(later), 1e-9);
+
+        // Further decay after the rescale follows the new landmark
+        sketch.offer("a", 4, later);
+        List<SpaceSavingSketch.Estimate> afterHalfLife = sketch.topK(2, later + halfLife);
+        assertEquals("a", afterHalfLife.get(0).item());
+        assertEquals(3.0, afterHalfLife.get(0).count(), 1e-9);
+        assertEquals("c", afterHalfLife.get(1).item());
+        assertEquals(2.5, afterHalfLife.get(1).count(), 1e-9);
+        assertEquals(5.5, sketch.totalWeight(later + halfLife), 1e-9);
+    }
+
+    @Test
+    void longIdleGapDropsStaleItems() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2, 1L, 0L);
+        sketch.offer("x", 5, 0L);
+        sketch.offer("y", 3, 0L);
+
+        // The decay scale overflows to Infinity, so every estimate is zero
+        long idle = 10_000_000L;
+        assertTrue(sketch.topK(2, idle).isEmpty());
+        assertEquals(0.0, sketch.totalWeight(idle));
+        assertEquals(0.0, sketch.maxError(idle));
+
+        // The rescale factor underflows to 0 and clears the stale weights
+        sketch.offer("z", 4, idle);
+        List<SpaceSavingSketch.Estimate> top = sketch.topK(2, idle);
+        assertEquals(1, top.size());
+        assertEquals("z", top.get(0).item());
+        assertEquals(4.0, top.get(0).count(), 1e-9);
+        assertEquals(0.0, top.get(0).error());
+        assertEquals(4.0, sketch.totalWeight(idle), 1e-9);
+    }
+}
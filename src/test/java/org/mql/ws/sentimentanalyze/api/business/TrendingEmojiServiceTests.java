@@ -0,0 +1,114 @@
+package org.mql.ws.sentimentanalyze.api.business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingEmojiServiceTests {
+
+    private final TrendingEmojiService service = new TrendingEmojiService(10, 60_000L, () -> 0L);
+
+    @Test
+    void recordRoutesEachSentimentToItsOwnSketch() {
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        counts.put("POSITIF", Map.of("😀", 3));
+        counts.put("NÉGATIF", Map.of("😢", 2));
+        counts.put("NEUTRE", Map.of());
+        counts.put("BOGUS", Map.of("😀", 7));
+        service.record(counts);
+
+        assertEquals(List.of("😀"), emojis(service.topK("POSITIF", 5)));
+        assertEquals(3.0, (double) service.topK("POSITIF", 5).get("totalWeight"), 1e-9);
+        assertEquals(List.of("😢"), emojis(service.topK("NÉGATIF", 5)));
+        assertEquals(2.0, (double) service.topK("NÉGATIF", 5).get("totalWeight"), 1e-9);
+        assertTrue(emojis(service.topK("NEUTRE", 5)).isEmpty());
+        assertTrue(emojis(service.topK("AMBIGU", 5)).isEmpty());
+        assertEquals(0.0, (double) service.topK("AMBIGU", 5).get("totalWeight"), 1e-9);
+    }
+
+    @Test
+    void topKRejectsUnknownSentiment() {
+        assertThrows(IllegalArgumentException.class, () -> service.topK("BOGUS", 5));
+    }
+
+    @Test
+    void topKReturnsDocumentedKeys() {
+        service.record(Map.of("POSITIF", Map.of("😀", 4, "😍", 1)));
+
+        Map<String, Object> all = service.topK(5);
+        assertEquals(TrendingEmojiService.SENTIMENTS, new ArrayList<>(all.keySet()));
+
+        Map<String, Object> positive = service.topK("POSITIF", 1);
+        assertEquals(List.of("totalWeight", "maxError", "capacity", "top"), new ArrayList<>(positive.keySet()));
+        assertEquals(5.0, (double) positive.get("totalWeight"), 1e-9);
+        assertEquals(0.5, (double) positive.get("maxError"), 1e-9);
+        assertEquals(10, positive.get("capacity"));
+
+        List<Map<String, Object>> top = top(positive);
+        assertEquals(1, top.size());
+        Map<String, Object> item = top.get(0);
+        assertEquals(List.of("emoji", "count", "error", "guaranteedCount"), new ArrayList<>(item.keySet()));
+        assertEquals("😀", item.get("emoji"));
+        assertEquals(4.0, (double) item.get("count"), 1e-9);
+        assertEquals(0.0, (double) item.get("error"), 1e-9);
+        assertEquals(4.0, (double) item.get("guaranteedCount"), 1e-9);
+    }
+
+    @Test
+    void concurrentRecordsLoseNoWeight() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 1_000;
+        Map<String, Map<String, Integer>> counts = Map.of(
+                "POSITIF", Map.of("😀", 1, "😍", 2),
+                "NÉGATIF", Map.of("😢", 1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < recordsPerThread; i++) {
+                    service.record(counts);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int records = threads * recordsPerThread;
+        assertEquals(3.0 * records, (double) service.topK("POSITIF", 5).get("totalWeight"), 1e-9);
+        assertEquals(1.0 * records, (double) service.topK("NÉGATIF", 5).get("totalWeight"), 1e-9);
+        List<Map<String, Object>> top = top(service.topK("POSITIF", 5));
+        assertEquals("😍", top.get(0).get("emoji"));
+        assertEquals(2.0 * records, (double) top.get(0).get("count"), 1e-9);
+        assertEquals(1.0 * records, (double) top.get(1).get("count"), 1e-9);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> top(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("top");
+    }
+
+    private static List<String> emojis(Map<String, Object> result) {
+        List<String> emojis = new ArrayList<>();
+        for (Map<String, Object> item : top(result)) {
+            emojis.add((String) item.get("emoji"));
+        }
+        return emojis;
+    }
+}